@@ -0,0 +1,143 @@
+package com.moderator.cluster;
+
+import com.moderator.service.AnalysisResult;
+import com.moderator.service.SentimentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pulls partitions from the {@link WorkCoordinator} and scores them locally.
+ * Partitions are processed one at a time; comments within a partition are scored
+ * in parallel by {@link SentimentService}, so each instance keeps a single
+ * spam model in memory while throughput scales with the number of instances.
+ */
+@Component
+@ConditionalOnProperty(name = "cluster.worker.enabled", havingValue = "true")
+public class ClusterWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterWorker.class);
+
+    @Value("${cluster.worker.id:}")
+    private String configuredWorkerId;
+
+    @Value("${cluster.worker.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${cluster.worker.heartbeat-seconds:60}")
+    private long heartbeatSeconds;
+
+    private String workerId;
+    private ScheduledExecutorService scheduler;
+    private final WorkCoordinator coordinator;
+    private final SentimentService sentimentService;
+
+    /**
+     * Constructor for ClusterWorker.
+     *
+     * @param coordinator Coordinator to claim partitions from and report results to
+     * @param sentimentService Service used to score each partition
+     * @throws IllegalStateException if {@code cluster.coordinator} is missing or unsupported
+     */
+    public ClusterWorker(ObjectProvider<WorkCoordinator> coordinator, SentimentService sentimentService) {
+        this.coordinator = coordinator.getIfAvailable();
+        if (this.coordinator == null) {
+            throw new IllegalStateException("cluster.worker.enabled=true requires a supported cluster.coordinator; "
+                    + "supported values: local-file");
+        }
+        this.sentimentService = sentimentService;
+    }
+
+    /**
+     * Starts polling the coordinator for work.
+     */
+    @PostConstruct
+    public void start() {
+        workerId = configuredWorkerId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : configuredWorkerId;
+        logger.info("Starting cluster worker {} polling every {} ms", workerId, pollIntervalMs);
+
+        // One thread drains partitions while the other renews the lease on the current one
+        scheduler = Executors.newScheduledThreadPool(2);
+        scheduler.scheduleWithFixedDelay(this::drainPartitions, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops polling the coordinator. A partition in progress is left claimed
+     * and returned to pending once its lease expires.
+     */
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Claims and scores partitions until none are pending.
+     */
+    private void drainPartitions() {
+        try {
+            Optional<WorkPartition> next;
+            while (!Thread.currentThread().isInterrupted()
+                    && (next = coordinator.claimPartition(workerId)).isPresent()) {
+                process(next.get());
+            }
+        } catch (Exception e) {
+            // Keep the scheduled task alive; the next poll retries
+            logger.error("Error polling for cluster work", e);
+        }
+    }
+
+    /**
+     * Scores a single partition and reports the outcome, renewing its lease while scoring.
+     *
+     * @param partition The claimed partition
+     */
+    private void process(WorkPartition partition) {
+        logger.info("Worker {} processing partition {} of job {}: {}",
+                workerId, partition.partitionId(), partition.jobId(), partition.youtubeUrl());
+        ScheduledFuture<?> heartbeat = scheduler.scheduleAtFixedRate(() -> renewClaim(partition),
+                heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        AnalysisResult result;
+        try {
+            result = sentimentService.analyzeSentiment(partition.youtubeUrl(), partition.commentCount());
+        } catch (Exception e) {
+            logger.error("Partition {} of job {} failed", partition.partitionId(), partition.jobId(), e);
+            if (!coordinator.failPartition(workerId, partition, e.getMessage())) {
+                logger.warn("Lease lost for partition {} of job {}, failure discarded", partition.partitionId(), partition.jobId());
+            }
+            return;
+        } finally {
+            heartbeat.cancel(false);
+        }
+        if (!coordinator.completePartition(workerId, partition, result)) {
+            logger.warn("Lease lost for partition {} of job {}, result discarded", partition.partitionId(), partition.jobId());
+        }
+    }
+
+    /**
+     * Renews the lease on the partition being scored.
+     *
+     * @param partition The claimed partition
+     */
+    private void renewClaim(WorkPartition partition) {
+        try {
+            if (!coordinator.renewClaim(workerId, partition)) {
+                logger.warn("Lease lost for partition {} of job {} while scoring", partition.partitionId(), partition.jobId());
+            }
+        } catch (Exception e) {
+            // Keep renewing; the lease only expires if renewals keep failing
+            logger.error("Error renewing lease for partition {} of job {}", partition.partitionId(), partition.jobId(), e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.moderator.cluster;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress and results of a distributed moderation job.
+ *
+ * @param jobId The job ID
+ * @param totalPartitions The number of partitions in the job
+ * @param completedPartitions The number of partitions scored successfully
+ * @param failedPartitions The number of partitions that failed
+ * @param categoryCounts The number of comments per category across completed partitions
+ * @param partitions The outcome of each finished partition, ordered by partition ID
+ */
+public record JobStatus(String jobId,
+                        int totalPartitions,
+                        int completedPartitions,
+                        int failedPartitions,
+                        Map<String, Integer> categoryCounts,
+                        List<PartitionResult> partitions) {
+
+    /**
+     * Returns whether every partition has either completed or failed.
+     *
+     * @return true if the job is finished, false otherwise
+     */
+    public boolean isComplete() {
+        return completedPartitions + failedPartitions >= totalPartitions;
+    }
+}
@@ -0,0 +1,467 @@
+package com.moderator.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moderator.exception.WorkCoordinatorException;
+import com.moderator.service.AnalysisResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link WorkCoordinator} backed by a directory shared by all instances,
+ * such as a local or network-mounted path. Each partition is a file whose
+ * name records its state and owner; workers claim partitions with an atomic rename,
+ * so several instances on one machine can cooperate without other infrastructure.
+ * Finished jobs move to {@code done/}, so polling only scans active jobs, and are
+ * deleted once the retention period has passed. An instance purging a job first moves
+ * it into {@code trash/}, so concurrent purges never delete the same directory.
+ *
+ * <pre>
+ * &lt;dir&gt;/jobs/&lt;jobId&gt;/job.json                            total partition count
+ * &lt;dir&gt;/jobs/&lt;jobId&gt;/&lt;partitionId&gt;.pending              waiting for a worker
+ * &lt;dir&gt;/jobs/&lt;jobId&gt;/&lt;partitionId&gt;.&lt;workerId&gt;.claimed   being scored by a worker
+ * &lt;dir&gt;/jobs/&lt;jobId&gt;/&lt;partitionId&gt;.&lt;workerId&gt;.reporting outcome being written by a worker
+ * &lt;dir&gt;/jobs/&lt;jobId&gt;/&lt;partitionId&gt;.result               partition result with categorized comments
+ * &lt;dir&gt;/jobs/&lt;jobId&gt;/&lt;partitionId&gt;.failed               partition result with the error
+ * &lt;dir&gt;/done/&lt;jobId&gt;/...                                finished jobs
+ * &lt;dir&gt;/trash/&lt;instanceId&gt;-&lt;jobId&gt;/...                  expired jobs being deleted
+ * </pre>
+ */
+@Service
+@ConditionalOnProperty(name = "cluster.coordinator", havingValue = "local-file")
+public class LocalFileWorkCoordinator implements WorkCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalFileWorkCoordinator.class);
+
+    private static final String PENDING = ".pending";
+    private static final String CLAIMED = ".claimed";
+    private static final String REPORTING = ".reporting";
+    private static final String RESULT = ".result";
+    private static final String FAILED = ".failed";
+    private static final String JOB_FILE = "job.json";
+
+    @Value("${cluster.coordinator.dir:cluster-work}")
+    private String directory;
+
+    @Value("${cluster.coordinator.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${cluster.coordinator.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${cluster.coordinator.cleanup-interval-minutes:10}")
+    private long cleanupIntervalMinutes;
+
+    private Path stagingRoot;
+    private Path activeRoot;
+    private Path doneRoot;
+    private Path trashRoot;
+    private final String instanceId = UUID.randomUUID().toString();
+    private ScheduledExecutorService cleanupScheduler;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor for LocalFileWorkCoordinator.
+     *
+     * @param objectMapper Mapper used to serialize partitions and results
+     */
+    public LocalFileWorkCoordinator(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Creates the shared work directories and schedules cleanup of expired jobs.
+     */
+    @PostConstruct
+    public void initialize() {
+        Path root = Paths.get(directory).toAbsolutePath();
+        stagingRoot = root.resolve("staging");
+        activeRoot = root.resolve("jobs");
+        doneRoot = root.resolve("done");
+        trashRoot = root.resolve("trash");
+        try {
+            Files.createDirectories(stagingRoot);
+            Files.createDirectories(activeRoot);
+            Files.createDirectories(doneRoot);
+            Files.createDirectories(trashRoot);
+        } catch (IOException e) {
+            throw new WorkCoordinatorException("Cannot create work directory " + root, e);
+        }
+        logger.info("Local file work coordinator using directory {}, retaining finished jobs for {} hours",
+                root, retentionHours);
+
+        cleanupScheduler = Executors.newSingleThreadScheduledExecutor();
+        cleanupScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                purgeExpiredJobs();
+            } catch (Exception e) {
+                logger.error("Error purging finished jobs", e);
+            }
+        }, cleanupIntervalMinutes, cleanupIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the cleanup task.
+     */
+    @PreDestroy
+    public void shutdown() {
+        cleanupScheduler.shutdownNow();
+    }
+
+    @Override
+    public String submitJob(List<String> youtubeUrls, int commentCount) {
+        String jobId = UUID.randomUUID().toString();
+        try {
+            // Write partitions into a staging directory so workers never see a partial job
+            Path staging = stagingRoot.resolve(jobId);
+            Files.createDirectory(staging);
+            objectMapper.writeValue(staging.resolve(JOB_FILE).toFile(), Map.of("totalPartitions", youtubeUrls.size()));
+            for (int i = 0; i < youtubeUrls.size(); i++) {
+                WorkPartition partition = new WorkPartition(jobId, i, youtubeUrls.get(i), commentCount);
+                objectMapper.writeValue(staging.resolve(i + PENDING).toFile(), partition);
+            }
+            Files.move(staging, activeRoot.resolve(jobId), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new WorkCoordinatorException("Cannot submit job " + jobId, e);
+        }
+        logger.info("Submitted job {} with {} partitions", jobId, youtubeUrls.size());
+        return jobId;
+    }
+
+    @Override
+    public Optional<WorkPartition> claimPartition(String workerId) {
+        for (Path jobDir : listDirectories(activeRoot)) {
+            try {
+                reclaimExpiredLeases(jobDir);
+                for (Path pending : listFiles(jobDir, PENDING)) {
+                    Path claimed = workerFile(jobDir, partitionId(pending), workerId, CLAIMED);
+                    try {
+                        // Only one worker can win the rename
+                        Files.move(pending, claimed, StandardCopyOption.ATOMIC_MOVE);
+                        Files.setLastModifiedTime(claimed, FileTime.fromMillis(System.currentTimeMillis()));
+                        WorkPartition partition = objectMapper.readValue(claimed.toFile(), WorkPartition.class);
+                        logger.debug("Worker {} claimed partition {} of job {}", workerId, partition.partitionId(), partition.jobId());
+                        return Optional.of(partition);
+                    } catch (NoSuchFileException e) {
+                        // Claimed by another worker
+                    } catch (IOException e) {
+                        logger.error("Error claiming partition {}", pending, e);
+                    }
+                }
+            } catch (WorkCoordinatorException e) {
+                if (Files.exists(jobDir)) {
+                    throw e;
+                }
+                // Finished and moved to done by another instance
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean renewClaim(String workerId, WorkPartition partition) {
+        Path claimed = workerFile(activeRoot.resolve(partition.jobId()), String.valueOf(partition.partitionId()),
+                workerId, CLAIMED);
+        try {
+            Files.setLastModifiedTime(claimed, FileTime.fromMillis(System.currentTimeMillis()));
+            return true;
+        } catch (NoSuchFileException e) {
+            // Lease expired and the partition was returned to pending or taken over
+            return false;
+        } catch (IOException e) {
+            throw new WorkCoordinatorException("Cannot renew claim for partition " + partition.partitionId()
+                    + " of job " + partition.jobId(), e);
+        }
+    }
+
+    @Override
+    public boolean completePartition(String workerId, WorkPartition partition, AnalysisResult result) {
+        PartitionResult outcome = new PartitionResult(partition.partitionId(), partition.youtubeUrl(),
+                result.categorizedComments(), result.fetchedComments(), result.skippedComments(), null);
+        try {
+            return recordOutcome(workerId, partition, RESULT, FAILED, objectMapper.writeValueAsBytes(outcome));
+        } catch (IOException e) {
+            throw new WorkCoordinatorException("Cannot report result for partition " + partition.partitionId()
+                    + " of job " + partition.jobId(), e);
+        }
+    }
+
+    @Override
+    public boolean failPartition(String workerId, WorkPartition partition, String error) {
+        PartitionResult outcome = new PartitionResult(partition.partitionId(), partition.youtubeUrl(),
+                null, 0, 0, String.valueOf(error));
+        try {
+            return recordOutcome(workerId, partition, FAILED, RESULT, objectMapper.writeValueAsBytes(outcome));
+        } catch (IOException e) {
+            throw new WorkCoordinatorException("Cannot report failure for partition " + partition.partitionId()
+                    + " of job " + partition.jobId(), e);
+        }
+    }
+
+    @Override
+    public Optional<JobStatus> getJobStatus(String jobId) {
+        String normalizedId;
+        try {
+            normalizedId = UUID.fromString(jobId).toString();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        // A job may move from active to done while it is being read
+        for (Path parent : List.of(activeRoot, doneRoot)) {
+            Path jobDir = parent.resolve(normalizedId);
+            if (!Files.isDirectory(jobDir)) {
+                continue;
+            }
+            try {
+                return Optional.of(readJobStatus(normalizedId, jobDir));
+            } catch (WorkCoordinatorException e) {
+                if (Files.exists(jobDir)) {
+                    throw e;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Deletes finished jobs older than the retention period.
+     * Each job is claimed by an atomic rename into this instance's trash before it is deleted,
+     * so instances purging concurrently skip jobs taken by another one, and a job that cannot
+     * be deleted does not stop the rest of the pass.
+     */
+    public void purgeExpiredJobs() {
+        long expiry = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(retentionHours);
+        for (Path jobDir : listDirectories(doneRoot)) {
+            Path trash = trashRoot.resolve(instanceId + "-" + jobDir.getFileName());
+            try {
+                if (Files.getLastModifiedTime(jobDir).toMillis() >= expiry) {
+                    continue;
+                }
+                Files.move(jobDir, trash, StandardCopyOption.ATOMIC_MOVE);
+            } catch (NoSuchFileException e) {
+                // Purged by another instance
+                continue;
+            } catch (IOException e) {
+                logger.error("Error purging finished job {}", jobDir, e);
+                continue;
+            }
+            try {
+                deleteRecursively(trash);
+                logger.info("Purged finished job {}", jobDir.getFileName());
+            } catch (IOException | UncheckedIOException e) {
+                logger.error("Error deleting purged job {}", trash, e);
+            }
+        }
+    }
+
+    /**
+     * Writes a partition outcome if the worker still holds the claim, removes any
+     * outcome of the other kind, releases the claim and finishes the job if it was the last one.
+     * The claim is first renamed to a reporting marker, which fails if the lease has been
+     * reclaimed and stops it from being reclaimed while the outcome is written.
+     *
+     * @param workerId The ID of the reporting worker
+     * @param partition The partition being reported
+     * @param extension The outcome to write ({@code .result} or {@code .failed})
+     * @param otherExtension The outcome to remove
+     * @param content The outcome file content
+     * @return true if the outcome was recorded, false if the worker no longer holds the claim
+     */
+    private boolean recordOutcome(String workerId, WorkPartition partition, String extension, String otherExtension,
+                                  byte[] content) throws IOException {
+        Path jobDir = activeRoot.resolve(partition.jobId());
+        String partitionId = String.valueOf(partition.partitionId());
+        Path claimed = workerFile(jobDir, partitionId, workerId, CLAIMED);
+        Path reporting = workerFile(jobDir, partitionId, workerId, REPORTING);
+        try {
+            Files.move(claimed, reporting, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            // Lease expired and the partition was returned to pending or taken over
+            return false;
+        }
+        // A worker that dies while reporting has its marker reclaimed after a full lease
+        Files.setLastModifiedTime(reporting, FileTime.fromMillis(System.currentTimeMillis()));
+
+        writeAtomically(jobDir.resolve(partitionId + extension), content);
+        Files.deleteIfExists(jobDir.resolve(partitionId + otherExtension));
+        Files.deleteIfExists(reporting);
+        finishJobIfComplete(jobDir);
+        return true;
+    }
+
+    /**
+     * Moves a job to {@code done/} once every partition has an outcome and no worker is
+     * still reporting; the last worker to finish reporting moves it.
+     *
+     * @param jobDir The active job directory
+     */
+    private void finishJobIfComplete(Path jobDir) throws IOException {
+        Path doneDir = doneRoot.resolve(jobDir.getFileName());
+        try {
+            if (!listFiles(jobDir, REPORTING).isEmpty()) {
+                return;
+            }
+            int totalPartitions = readTotalPartitions(jobDir);
+            Set<String> finished = new HashSet<>();
+            listFiles(jobDir, RESULT).forEach(path -> finished.add(partitionId(path)));
+            listFiles(jobDir, FAILED).forEach(path -> finished.add(partitionId(path)));
+            if (finished.size() < totalPartitions) {
+                return;
+            }
+
+            Files.move(jobDir, doneDir, StandardCopyOption.ATOMIC_MOVE);
+            // The retention period starts when the job finishes
+            Files.setLastModifiedTime(doneDir, FileTime.fromMillis(System.currentTimeMillis()));
+            logger.info("Job {} finished", jobDir.getFileName());
+        } catch (NoSuchFileException | FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            // Finished concurrently by another worker
+        } catch (IOException | WorkCoordinatorException e) {
+            if (Files.exists(jobDir)) {
+                throw e;
+            }
+            // Finished concurrently by another worker
+        }
+    }
+
+    /**
+     * Reads the progress and per-partition results of a job directory.
+     * Only the category counts are aggregated; comments stay with the partition they came from.
+     *
+     * @param jobId The job ID
+     * @param jobDir The job directory
+     * @return The job status
+     */
+    private JobStatus readJobStatus(String jobId, Path jobDir) {
+        int totalPartitions;
+        try {
+            totalPartitions = readTotalPartitions(jobDir);
+        } catch (IOException e) {
+            throw new WorkCoordinatorException("Cannot read job " + jobId, e);
+        }
+
+        Map<String, Integer> categoryCounts = new HashMap<>();
+        categoryCounts.put("positive", 0);
+        categoryCounts.put("negative", 0);
+        categoryCounts.put("neutral", 0);
+        categoryCounts.put("spam", 0);
+
+        Map<Integer, PartitionResult> partitions = new TreeMap<>();
+        for (Path result : listFiles(jobDir, RESULT)) {
+            PartitionResult partition = readPartitionResult(result);
+            partition.categorizedComments().forEach((category, comments) ->
+                    categoryCounts.merge(category, comments.size(), Integer::sum));
+            partitions.put(partition.partitionId(), partition);
+        }
+        int completed = partitions.size();
+
+        // A partition replaced by a result moments ago may still have a failure file
+        for (Path failure : listFiles(jobDir, FAILED)) {
+            PartitionResult partition = readPartitionResult(failure);
+            partitions.putIfAbsent(partition.partitionId(), partition);
+        }
+        int failed = partitions.size() - completed;
+
+        return new JobStatus(jobId, totalPartitions, completed, failed, categoryCounts,
+                new ArrayList<>(partitions.values()));
+    }
+
+    private PartitionResult readPartitionResult(Path path) {
+        try {
+            return objectMapper.readValue(path.toFile(), PartitionResult.class);
+        } catch (IOException e) {
+            throw new WorkCoordinatorException("Cannot read partition result " + path, e);
+        }
+    }
+
+    private int readTotalPartitions(Path jobDir) throws IOException {
+        return objectMapper.readTree(jobDir.resolve(JOB_FILE).toFile()).get("totalPartitions").asInt();
+    }
+
+    /**
+     * Returns claimed or reporting partitions whose lease has expired to the pending state,
+     * so work held by a crashed worker is picked up by another one.
+     *
+     * @param jobDir The job directory to check
+     */
+    private void reclaimExpiredLeases(Path jobDir) {
+        long expiry = System.currentTimeMillis() - leaseSeconds * 1000;
+        List<Path> held = new ArrayList<>(listFiles(jobDir, CLAIMED));
+        held.addAll(listFiles(jobDir, REPORTING));
+        for (Path claimed : held) {
+            try {
+                if (Files.getLastModifiedTime(claimed).toMillis() < expiry) {
+                    Files.move(claimed, jobDir.resolve(partitionId(claimed) + PENDING), StandardCopyOption.ATOMIC_MOVE);
+                    logger.warn("Lease expired for {}, returning it to pending", claimed);
+                }
+            } catch (IOException e) {
+                // Completed or reclaimed concurrently
+            }
+        }
+    }
+
+    private List<Path> listDirectories(Path parent) {
+        try (Stream<Path> stream = Files.list(parent)) {
+            return stream
+                    .filter(Files::isDirectory)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new WorkCoordinatorException("Cannot list work directory " + parent, e);
+        }
+    }
+
+    private List<Path> listFiles(Path jobDir, String extension) {
+        try (Stream<Path> stream = Files.list(jobDir)) {
+            return stream
+                    .filter(path -> path.getFileName().toString().endsWith(extension))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new WorkCoordinatorException("Cannot list job directory " + jobDir, e);
+        }
+    }
+
+    private static Path workerFile(Path jobDir, String partitionId, String workerId, String extension) {
+        // Worker IDs such as pid@host may contain characters unsafe in file names
+        String safeWorkerId = workerId.chars()
+                .mapToObj(c -> Character.isLetterOrDigit(c) || c == '-' || c == '_' ? String.valueOf((char) c) : "_")
+                .collect(Collectors.joining());
+        return jobDir.resolve(partitionId + "." + safeWorkerId + extension);
+    }
+
+    private static String partitionId(Path path) {
+        String name = path.getFileName().toString();
+        return name.substring(0, name.indexOf('.'));
+    }
+
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        // Unique temp name, as a worker whose lease expired may write the same target concurrently
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> stream = Files.walk(dir)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.moderator.cluster;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a single partition, kept per video so results can be traced back to their source.
+ *
+ * @param partitionId The partition index within the job
+ * @param youtubeUrl The URL of the video the partition covers
+ * @param categorizedComments The video's comments grouped by category, or null if the partition failed
+ * @param fetchedComments The number of comments fetched for the video
+ * @param skippedComments The number of fetched comments not scored before the deadline
+ * @param error A description of the failure, or null if the partition completed
+ */
+public record PartitionResult(int partitionId,
+                              String youtubeUrl,
+                              Map<String, List<String>> categorizedComments,
+                              int fetchedComments,
+                              int skippedComments,
+                              String error) {
+}
@@ -0,0 +1,70 @@
+package com.moderator.cluster;
+
+import com.moderator.service.AnalysisResult;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Distributes moderation work across application instances.
+ * Jobs are split into partitions that workers claim, score and report back;
+ * implementations must ensure each partition is claimed by one worker at a time
+ * and ignore reports from a worker whose claim has since been taken over.
+ */
+public interface WorkCoordinator {
+
+    /**
+     * Submits a job with one partition per video.
+     *
+     * @param youtubeUrls The URLs of the videos to analyze
+     * @param commentCount The number of comments to analyze per video
+     * @return The ID of the submitted job
+     */
+    String submitJob(List<String> youtubeUrls, int commentCount);
+
+    /**
+     * Claims the next pending partition of any job.
+     *
+     * @param workerId The ID of the claiming worker
+     * @return The claimed partition, or empty if no work is pending
+     */
+    Optional<WorkPartition> claimPartition(String workerId);
+
+    /**
+     * Extends the lease on a claimed partition, so a long-running partition is not
+     * reclaimed while its worker is still scoring it.
+     *
+     * @param workerId The ID of the worker holding the claim
+     * @param partition The claimed partition
+     * @return true if the lease was renewed, false if the worker no longer holds the claim
+     */
+    boolean renewClaim(String workerId, WorkPartition partition);
+
+    /**
+     * Reports the analysis result of a claimed partition.
+     *
+     * @param workerId The ID of the worker holding the claim
+     * @param partition The completed partition
+     * @param result The partition's categorized comments and skipped count
+     * @return true if the result was recorded, false if the worker no longer holds the claim
+     */
+    boolean completePartition(String workerId, WorkPartition partition, AnalysisResult result);
+
+    /**
+     * Reports that a claimed partition could not be scored.
+     *
+     * @param workerId The ID of the worker holding the claim
+     * @param partition The failed partition
+     * @param error A description of the failure
+     * @return true if the failure was recorded, false if the worker no longer holds the claim
+     */
+    boolean failPartition(String workerId, WorkPartition partition, String error);
+
+    /**
+     * Returns the progress of a job with the results of each finished partition.
+     *
+     * @param jobId The job ID
+     * @return The job status, or empty if the job does not exist
+     */
+    Optional<JobStatus> getJobStatus(String jobId);
+}
@@ -0,0 +1,12 @@
+package com.moderator.cluster;
+
+/**
+ * A unit of distributed moderation work: the comments of a single video.
+ *
+ * @param jobId The job this partition belongs to
+ * @param partitionId The partition index within the job
+ * @param youtubeUrl The URL of the YouTube video to analyze
+ * @param commentCount The number of comments to analyze
+ */
+public record WorkPartition(String jobId, int partitionId, String youtubeUrl, int commentCount) {
+}
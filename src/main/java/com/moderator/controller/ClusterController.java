@@ -0,0 +1,82 @@
+package com.moderator.controller;
+
+import com.moderator.cluster.JobStatus;
+import com.moderator.cluster.WorkCoordinator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller for distributed moderation jobs.
+ * Jobs are split into one partition per video and scored by cluster workers.
+ */
+@RestController
+@Validated
+@ConditionalOnProperty(name = "cluster.coordinator")
+public class ClusterController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterController.class);
+
+    private final WorkCoordinator coordinator;
+
+    /**
+     * Constructor for ClusterController.
+     *
+     * @param coordinator Coordinator that distributes job partitions to workers
+     * @param coordinatorType The configured {@code cluster.coordinator} value
+     * @throws IllegalStateException if no coordinator matches the configured value
+     */
+    public ClusterController(ObjectProvider<WorkCoordinator> coordinator,
+                             @Value("${cluster.coordinator}") String coordinatorType) {
+        this.coordinator = coordinator.getIfAvailable();
+        if (this.coordinator == null) {
+            throw new IllegalStateException("Unsupported cluster.coordinator '" + coordinatorType
+                    + "'; supported values: local-file");
+        }
+    }
+
+    /**
+     * Submits a moderation job covering several videos.
+     *
+     * @param youtubeUrls The URLs of the YouTube videos
+     * @param commentCount The number of comments to analyze per video
+     * @return The ID of the submitted job
+     */
+    @PostMapping("/cluster/jobs")
+    public Map<String, String> submitJob(
+            @RequestParam @NotEmpty List<@Pattern(regexp = "^(https?://)?(www\\.)?(youtube\\.com|youtu\\.be)/.+$",
+                                                  message = "Invalid YouTube URL format") String> youtubeUrls,
+            @RequestParam(defaultValue = "10") @Min(1) int commentCount) {
+
+        logger.info("Submitting cluster job for {} videos, {} comments each", youtubeUrls.size(), commentCount);
+        return Map.of("jobId", coordinator.submitJob(youtubeUrls, commentCount));
+    }
+
+    /**
+     * Returns the progress of a moderation job, with category counts and the results of each video.
+     *
+     * @param jobId The job ID
+     * @return The job status
+     */
+    @GetMapping("/cluster/jobs/{jobId}")
+    public JobStatus getJobStatus(@PathVariable String jobId) {
+        return coordinator.getJobStatus(jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown job: " + jobId));
+    }
+}
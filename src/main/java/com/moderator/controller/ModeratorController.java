@@ -17,6 +17,8 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Controller for handling YouTube comment moderation requests.
@@ -55,14 +57,16 @@ public class ModeratorController {
 
     /**
      * Analyzes comments from a YouTube video for sentiment and spam.
+     * The request is handled asynchronously so the servlet thread is released
+     * while comments are fetched and scored.
      * 
      * @param youtubeUrl The URL of the YouTube video
      * @param commentCount The number of comments to analyze
      * @param model The model to add attributes to
-     * @return The name of the view to render
+     * @return A future completing with the name of the view to render
      */
     @PostMapping("/spamanalyze")
-    public String analyzeSpam(
+    public CompletableFuture<String> analyzeSpam(
             @RequestParam @Pattern(regexp = "^(https?://)?(www\\.)?(youtube\\.com|youtu\\.be)/.+$", 
                                  message = "Invalid YouTube URL format") String youtubeUrl,
             @RequestParam(defaultValue = "10") @Min(1) int commentCount,
@@ -70,43 +74,63 @@ public class ModeratorController {
         
         logger.info("Analyzing comments for URL: {}, count: {}", youtubeUrl, commentCount);
         
-        try {
-            Map<String, List<String>> categorizedComments = sentimentService.analyzeSentiment(youtubeUrl, commentCount);
-            
-            // Calculate counts for statistics
-            int totalComments = categorizedComments.values().stream()
-                    .mapToInt(List::size)
-                    .sum();
-            int positiveCount = categorizedComments.get("positive").size();
-            int negativeCount = categorizedComments.get("negative").size();
-            int neutralCount = categorizedComments.get("neutral").size();
-            int spamCount = categorizedComments.get("spam").size();
+        return sentimentService.analyzeSentimentAsync(youtubeUrl, commentCount)
+                .handle((result, e) -> {
+                    if (e != null) {
+                        return handleAnalysisError(e instanceof CompletionException && e.getCause() != null
+                                ? e.getCause() : e, model);
+                    }
+                    Map<String, List<String>> categorizedComments = result.categorizedComments();
+
+                    // Calculate counts for statistics
+                    int totalComments = categorizedComments.values().stream()
+                            .mapToInt(List::size)
+                            .sum();
+                    int positiveCount = categorizedComments.get("positive").size();
+                    int negativeCount = categorizedComments.get("negative").size();
+                    int neutralCount = categorizedComments.get("neutral").size();
+                    int spamCount = categorizedComments.get("spam").size();
+
+                    logger.info("Analysis complete. Found {} total comments: {} positive, {} negative, {} neutral, {} spam",
+                            totalComments, positiveCount, negativeCount, neutralCount, spamCount);
+                    if (result.isPartial()) {
+                        logger.warn("Only {} of {} comments analyzed before the deadline",
+                                result.analyzedComments(), result.fetchedComments());
+                    }
 
-            logger.info("Analysis complete. Found {} total comments: {} positive, {} negative, {} neutral, {} spam",
-                    totalComments, positiveCount, negativeCount, neutralCount, spamCount);
+                    // Add all data to the model
+                    model.addAttribute("categorizedComments", categorizedComments);
+                    model.addAttribute("totalComments", totalComments);
+                    model.addAttribute("positiveCount", positiveCount);
+                    model.addAttribute("negativeCount", negativeCount);
+                    model.addAttribute("neutralCount", neutralCount);
+                    model.addAttribute("spamCount", spamCount);
+                    model.addAttribute("fetchedComments", result.fetchedComments());
+                    model.addAttribute("skippedComments", result.skippedComments());
+                    model.addAttribute("youtubeUrl", youtubeUrl);
+
+                    return "result";
+                });
+    }
 
-            // Add all data to the model
-            model.addAttribute("categorizedComments", categorizedComments);
-            model.addAttribute("totalComments", totalComments);
-            model.addAttribute("positiveCount", positiveCount);
-            model.addAttribute("negativeCount", negativeCount);
-            model.addAttribute("neutralCount", neutralCount);
-            model.addAttribute("spamCount", spamCount);
-            model.addAttribute("youtubeUrl", youtubeUrl);
-            
-            return "result";
-        } catch (YouTubeApiException e) {
+    /**
+     * Adds an error message for a failed analysis to the model.
+     *
+     * @param e The failure cause
+     * @param model The model to add attributes to
+     * @return The name of the view to render
+     */
+    private String handleAnalysisError(Throwable e, Model model) {
+        if (e instanceof YouTubeApiException) {
             logger.error("YouTube API error: {}", e.getMessage(), e);
             model.addAttribute("error", "YouTube API error: " + e.getMessage());
-            return "index";
-        } catch (InvalidUrlException e) {
+        } else if (e instanceof InvalidUrlException) {
             logger.error("Invalid URL error: {}", e.getMessage(), e);
             model.addAttribute("error", "Invalid YouTube URL: " + e.getMessage());
-            return "index";
-        } catch (Exception e) {
+        } else {
             logger.error("Unexpected error during comment analysis", e);
             model.addAttribute("error", "An unexpected error occurred. Please try again later.");
-            return "index";
         }
+        return "index";
     }
 }
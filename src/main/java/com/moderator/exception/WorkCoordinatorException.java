@@ -0,0 +1,26 @@
+package com.moderator.exception;
+
+/**
+ * Exception thrown when distributed work cannot be submitted, claimed or reported.
+ */
+public class WorkCoordinatorException extends RuntimeException {
+
+    /**
+     * Constructs a new WorkCoordinatorException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public WorkCoordinatorException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new WorkCoordinatorException with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the cause
+     */
+    public WorkCoordinatorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
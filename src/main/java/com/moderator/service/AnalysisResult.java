@@ -0,0 +1,32 @@
+package com.moderator.service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of analyzing the comments of one video.
+ *
+ * @param categorizedComments Comments grouped by category ("positive", "negative", "neutral" or "spam")
+ * @param fetchedComments The number of comments fetched from YouTube
+ * @param skippedComments The number of fetched comments that failed or were not scored before the deadline
+ */
+public record AnalysisResult(Map<String, List<String>> categorizedComments, int fetchedComments, int skippedComments) {
+
+    /**
+     * Returns the number of comments that were categorized.
+     *
+     * @return The number of analyzed comments
+     */
+    public int analyzedComments() {
+        return fetchedComments - skippedComments;
+    }
+
+    /**
+     * Returns whether some fetched comments are missing from the categories.
+     *
+     * @return true if comments were skipped, false otherwise
+     */
+    public boolean isPartial() {
+        return skippedComments > 0;
+    }
+}
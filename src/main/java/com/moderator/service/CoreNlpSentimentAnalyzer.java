@@ -0,0 +1,133 @@
+package com.moderator.service;
+
+import edu.stanford.nlp.ling.CoreAnnotations;
+import edu.stanford.nlp.neural.rnn.RNNCoreAnnotations;
+import edu.stanford.nlp.pipeline.Annotation;
+import edu.stanford.nlp.pipeline.StanfordCoreNLP;
+import edu.stanford.nlp.sentiment.SentimentCoreAnnotations;
+import edu.stanford.nlp.trees.Tree;
+import edu.stanford.nlp.util.CoreMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+import jakarta.annotation.PostConstruct;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Sentiment analyzer backed by the Stanford CoreNLP sentiment model.
+ * Pipelines are built once at startup and shared across analysis threads,
+ * since building one per call is far more expensive than annotating.
+ * Comments are split into sentences first, and only the capped sentences
+ * are parsed and scored, so long comments cannot collapse throughput.
+ * Only created when {@code sentiment.engine=corenlp} and
+ * {@code comment.analysis.default-language=en}, since the model is English-only;
+ * requires the models jar from the {@code corenlp} Maven profile.
+ */
+@Service
+@ConditionalOnExpression("'${sentiment.engine:keyword}' == 'corenlp' and '${comment.analysis.default-language:en}' == 'en'")
+public class CoreNlpSentimentAnalyzer {
+
+    private static final Logger logger = LoggerFactory.getLogger(CoreNlpSentimentAnalyzer.class);
+
+    @Value("${sentiment.corenlp.max-chars:1000}")
+    private int maxChars;
+
+    @Value("${sentiment.corenlp.max-sentences:5}")
+    private int maxSentences;
+
+    @Value("${sentiment.corenlp.max-sentence-length:80}")
+    private int maxSentenceLength;
+
+    private StanfordCoreNLP splitPipeline;
+    private StanfordCoreNLP sentimentPipeline;
+
+    /**
+     * Builds the shared CoreNLP pipelines with only the annotators sentiment needs:
+     * a cheap tokenize/ssplit stage and an expensive parse/sentiment stage.
+     */
+    @PostConstruct
+    public void initialize() {
+        logger.info("Building CoreNLP sentiment pipeline (max {} sentences of {} tokens)", maxSentences, maxSentenceLength);
+        long start = System.currentTimeMillis();
+
+        Properties splitProps = new Properties();
+        splitProps.setProperty("annotators", "tokenize,ssplit");
+        splitProps.setProperty("ssplit.newlineIsSentenceBreak", "always");
+        splitPipeline = new StanfordCoreNLP(splitProps);
+
+        Properties sentimentProps = new Properties();
+        sentimentProps.setProperty("annotators", "parse,sentiment");
+        sentimentProps.setProperty("parse.model", "edu/stanford/nlp/models/lexparser/englishPCFG.ser.gz");
+        sentimentProps.setProperty("parse.binaryTrees", "true");
+        sentimentProps.setProperty("parse.maxlen", String.valueOf(maxSentenceLength));
+        // Tokens and sentences come from the split pipeline
+        sentimentPipeline = new StanfordCoreNLP(sentimentProps, false);
+
+        logger.info("CoreNLP sentiment pipeline built in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Analyzes the sentiment of a comment.
+     * Long comments are truncated, and only the first sentences within the length cap
+     * are parsed and scored.
+     *
+     * @param comment The comment to analyze
+     * @return The sentiment category ("positive", "negative", or "neutral")
+     */
+    public String analyzeSentiment(String comment) {
+        if (comment == null || comment.trim().isEmpty()) {
+            return "neutral";
+        }
+
+        String text = comment.length() > maxChars ? comment.substring(0, maxChars) : comment;
+        Annotation annotation = new Annotation(text);
+        splitPipeline.annotate(annotation);
+
+        // Cap the sentences before the expensive parse so its cost is bounded
+        List<CoreMap> sentences = new ArrayList<>();
+        for (CoreMap sentence : annotation.get(CoreAnnotations.SentencesAnnotation.class)) {
+            if (sentences.size() >= maxSentences) {
+                break;
+            }
+            if (sentence.get(CoreAnnotations.TokensAnnotation.class).size() <= maxSentenceLength) {
+                sentences.add(sentence);
+            }
+        }
+        if (sentences.isEmpty()) {
+            return "neutral";
+        }
+        annotation.set(CoreAnnotations.SentencesAnnotation.class, sentences);
+        sentimentPipeline.annotate(annotation);
+
+        // Average the 0 (very negative) to 4 (very positive) class over sentences, weighted by length
+        double weightedSum = 0;
+        int totalTokens = 0;
+        for (CoreMap sentence : sentences) {
+            Tree tree = sentence.get(SentimentCoreAnnotations.SentimentAnnotatedTree.class);
+            if (tree == null) {
+                continue;
+            }
+            int tokens = sentence.get(CoreAnnotations.TokensAnnotation.class).size();
+            weightedSum += RNNCoreAnnotations.getPredictedClass(tree) * (double) tokens;
+            totalTokens += tokens;
+        }
+
+        if (totalTokens == 0) {
+            return "neutral";
+        }
+
+        double score = weightedSum / totalTokens;
+        if (score >= 2.5) {
+            return "positive";
+        } else if (score <= 1.5) {
+            return "negative";
+        } else {
+            return "neutral";
+        }
+    }
+}
@@ -9,9 +9,11 @@ import com.moderator.exception.YouTubeApiException;
 import com.moderator.exception.InvalidUrlException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 import java.io.IOException;
 import java.util.*;
@@ -34,11 +36,29 @@ public class SentimentService {
     @Value("${youtube.application.name}")
     private String applicationName;
 
+    @Value("${youtube.api.root-url:}")
+    private String rootUrl;
+
     @Value("${comment.analysis.thread-pool-size:5}")
     private int threadPoolSize;
 
+    @Value("${comment.analysis.fetch-pool-size:50}")
+    private int fetchPoolSize;
+
+    @Value("${comment.analysis.executor-type:fixed}")
+    private String executorType;
+
+    @Value("${comment.analysis.timeout-seconds:30}")
+    private long analysisTimeoutSeconds;
+
+    @Value("${comment.analysis.min-scoring-seconds:10}")
+    private long minScoringSeconds;
+
     @Value("${comment.analysis.default-language:en}")
     private String defaultLanguage;
+
+    @Value("${sentiment.engine:keyword}")
+    private String sentimentEngine;
     
     @Value("${sentiment.positive.words}")
     private String positiveWordsString;
@@ -51,7 +71,10 @@ public class SentimentService {
 
     private YouTube youtubeService;
     private ExecutorService executorService;
+    private ExecutorService fetchExecutorService;
     private final ModelBasedSpamDetector spamDetector;
+    private final CoreNlpSentimentAnalyzer coreNlpAnalyzer;
+    private boolean useCoreNlp;
     
     private static final Pattern YOUTUBE_URL_PATTERN = Pattern.compile(
         "^(https?://)?(www\\.)?(youtube\\.com/watch\\?v=|youtu\\.be/)([a-zA-Z0-9_-]{11}).*$"
@@ -61,9 +84,13 @@ public class SentimentService {
      * Constructor for SentimentService.
      *
      * @param spamDetector Service for detecting spam in comments
+     * @param coreNlpAnalyzer CoreNLP sentiment analyzer, available when {@code sentiment.engine=corenlp}
+     *                        and the default language is English
      */
-    public SentimentService(ModelBasedSpamDetector spamDetector) {
+    public SentimentService(ModelBasedSpamDetector spamDetector,
+                            ObjectProvider<CoreNlpSentimentAnalyzer> coreNlpAnalyzer) {
         this.spamDetector = spamDetector;
+        this.coreNlpAnalyzer = coreNlpAnalyzer.getIfAvailable();
     }
 
     /**
@@ -71,21 +98,39 @@ public class SentimentService {
      */
     @PostConstruct
     private void initialize() {
-        logger.info("Initializing SentimentService with thread pool size: {}", threadPoolSize);
+        logger.info("Initializing SentimentService with {} executor, thread pool size: {}", executorType, threadPoolSize);
+
+        if (minScoringSeconds < 0 || minScoringSeconds >= analysisTimeoutSeconds) {
+            throw new IllegalArgumentException("comment.analysis.min-scoring-seconds must be between 0 and "
+                + "comment.analysis.timeout-seconds (" + analysisTimeoutSeconds + "), was " + minScoringSeconds);
+        }
         
         try {
-            youtubeService = new YouTube.Builder(
+            YouTube.Builder builder = new YouTube.Builder(
                 new NetHttpTransport(),
                 GsonFactory.getDefaultInstance(),
                 null)
-                .setApplicationName(applicationName)
-                .build();
+                .setApplicationName(applicationName);
+            if (!rootUrl.isBlank()) {
+                logger.info("Using YouTube API root URL: {}", rootUrl);
+                builder.setRootUrl(rootUrl);
+            }
+            youtubeService = builder.build();
                 
-            executorService = Executors.newFixedThreadPool(threadPoolSize);
+            executorService = createExecutor();
+            // Blocking YouTube fetches get their own pool so they never hold scoring threads
+            fetchExecutorService = Executors.newFixedThreadPool(fetchPoolSize);
             
             // Initialize sentiment word lists
             positiveWords = Arrays.asList(positiveWordsString.split(","));
             negativeWords = Arrays.asList(negativeWordsString.split(","));
+
+            // The CoreNLP analyzer is only created for English, since its sentiment model is English-only
+            useCoreNlp = coreNlpAnalyzer != null;
+            if (!useCoreNlp && "corenlp".equalsIgnoreCase(sentimentEngine)) {
+                logger.warn("CoreNLP sentiment is English-only; using keyword sentiment for language '{}'", defaultLanguage);
+            }
+            logger.info("Using {} sentiment engine", useCoreNlp ? "corenlp" : "keyword");
             
             logger.info("YouTube service initialized successfully");
         } catch (Exception e) {
@@ -94,72 +139,181 @@ public class SentimentService {
         }
     }
 
+    /**
+     * Creates the analysis thread pool for the configured executor type.
+     *
+     * @return The executor used to score comments
+     */
+    private ExecutorService createExecutor() {
+        switch (executorType) {
+            case "fixed":
+                return Executors.newFixedThreadPool(threadPoolSize);
+            case "work-stealing":
+                return Executors.newWorkStealingPool(threadPoolSize);
+            case "cached":
+                return Executors.newCachedThreadPool();
+            default:
+                throw new IllegalArgumentException("Unknown comment.analysis.executor-type: " + executorType);
+        }
+    }
+
+    /**
+     * Shuts down the fetch and analysis thread pools.
+     */
+    @PreDestroy
+    private void shutdown() {
+        fetchExecutorService.shutdownNow();
+        executorService.shutdownNow();
+    }
+
     /**
      * Analyzes sentiment in comments from a YouTube video.
+     * Blocking variant of {@link #analyzeSentimentAsync(String, int)}.
      *
      * @param youtubeUrl The URL of the YouTube video
      * @param commentCount The number of comments to analyze
-     * @return A map of categorized comments
+     * @return The categorized comments and the number of comments skipped at the deadline
      * @throws YouTubeApiException if there's an error with the YouTube API
      * @throws InvalidUrlException if the URL is invalid
      */
-    public Map<String, List<String>> analyzeSentiment(String youtubeUrl, int commentCount) {
-        logger.info("Analyzing sentiment for URL: {}, comment count: {}", youtubeUrl, commentCount);
-        
+    public AnalysisResult analyzeSentiment(String youtubeUrl, int commentCount) {
         try {
-            // Extract video ID from URL
-            String videoId = extractVideoIdFromUrl(youtubeUrl);
-            if (videoId == null) {
-                throw new InvalidUrlException("Invalid YouTube URL format");
+            return analyzeSentimentAsync(youtubeUrl, commentCount).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
             }
-            
-            // Get comments from YouTube
-            List<String> comments = getCommentsFromYouTube(youtubeUrl, commentCount);
-            logger.info("Retrieved {} comments from YouTube", comments.size());
-            
-            // Categorize comments
-            Map<String, List<String>> categorizedComments = new HashMap<>();
-            categorizedComments.put("positive", new ArrayList<>());
-            categorizedComments.put("negative", new ArrayList<>());
-            categorizedComments.put("neutral", new ArrayList<>());
-            categorizedComments.put("spam", new ArrayList<>());
-            
-            // Process comments in parallel
-            List<Future<Map.Entry<String, String>>> futures = new ArrayList<>();
-            
-            for (String comment : comments) {
-                futures.add(executorService.submit(() -> {
-                    String sentiment = analyzeSimpleSentiment(comment);
-                    boolean isSpam = spamDetector.isSpam(comment);
-                    
-                    if (isSpam) {
-                        return new AbstractMap.SimpleEntry<>("spam", comment);
-                    } else {
-                        return new AbstractMap.SimpleEntry<>(sentiment, comment);
+            throw e;
+        }
+    }
+
+    /**
+     * Analyzes sentiment in comments from a YouTube video without blocking the caller.
+     * Comments are fetched on the fetch pool and scored on the analysis pool. The whole pipeline
+     * shares a single deadline, of which the last {@code min-scoring-seconds} are reserved for
+     * scoring: a fetch that misses its share fails the analysis, while comments not scored by
+     * the deadline are counted as skipped in the result.
+     *
+     * @param youtubeUrl The URL of the YouTube video
+     * @param commentCount The number of comments to analyze
+     * @return A future completing with the analysis result, or exceptionally with
+     *         {@link YouTubeApiException} or {@link InvalidUrlException}
+     */
+    public CompletableFuture<AnalysisResult> analyzeSentimentAsync(String youtubeUrl, int commentCount) {
+        logger.info("Analyzing sentiment for URL: {}, comment count: {}", youtubeUrl, commentCount);
+
+        // Extract video ID from URL
+        String videoId = extractVideoIdFromUrl(youtubeUrl);
+        if (videoId == null) {
+            logger.error("Invalid URL: {}", youtubeUrl);
+            return CompletableFuture.failedFuture(new InvalidUrlException("Invalid YouTube URL format"));
+        }
+
+        long fetchTimeoutSeconds = analysisTimeoutSeconds - minScoringSeconds;
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(analysisTimeoutSeconds);
+        long fetchDeadline = deadline - TimeUnit.SECONDS.toNanos(minScoringSeconds);
+
+        return CompletableFuture
+            .supplyAsync(() -> getCommentsFromYouTube(youtubeUrl, commentCount, fetchDeadline), fetchExecutorService)
+            .orTimeout(fetchTimeoutSeconds, TimeUnit.SECONDS)
+            .thenCompose(comments -> categorizeComments(comments, deadline))
+            .exceptionallyCompose(e -> {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                if (cause instanceof InvalidUrlException || cause instanceof YouTubeApiException) {
+                    return CompletableFuture.failedFuture(cause);
+                }
+                if (cause instanceof TimeoutException) {
+                    logger.error("Fetching comments timed out after {} seconds", fetchTimeoutSeconds);
+                    return CompletableFuture.failedFuture(new YouTubeApiException(
+                        "Timed out fetching comments after " + fetchTimeoutSeconds + " seconds", cause));
+                }
+                logger.error("Error analyzing sentiment", cause);
+                return CompletableFuture.failedFuture(
+                    new YouTubeApiException("Error analyzing comments: " + cause.getMessage(), cause));
+            });
+    }
+
+    /**
+     * Scores comments in parallel and groups them by category.
+     *
+     * @param comments The comments to categorize
+     * @param deadline The {@link System#nanoTime()} value by which scoring must finish
+     * @return A future completing with the categorized comments and the number skipped
+     */
+    private CompletableFuture<AnalysisResult> categorizeComments(List<String> comments, long deadline) {
+        // Process comments in parallel
+        List<CompletableFuture<Map.Entry<String, String>>> futures = new ArrayList<>();
+        for (String comment : comments) {
+            futures.add(CompletableFuture.supplyAsync(() -> categorizeComment(comment), executorService));
+        }
+
+        long remaining = Math.max(0, deadline - System.nanoTime());
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .completeOnTimeout(null, remaining, TimeUnit.NANOSECONDS)
+            .handle((ignored, e) -> {
+                // Categorize comments
+                Map<String, List<String>> categorizedComments = new HashMap<>();
+                categorizedComments.put("positive", new ArrayList<>());
+                categorizedComments.put("negative", new ArrayList<>());
+                categorizedComments.put("neutral", new ArrayList<>());
+                categorizedComments.put("spam", new ArrayList<>());
+
+                // Collect results
+                int skipped = 0;
+                for (CompletableFuture<Map.Entry<String, String>> future : futures) {
+                    if (!future.isDone()) {
+                        // Not started or still running at the deadline; queued tasks are skipped
+                        future.cancel(false);
+                        skipped++;
+                        continue;
+                    }
+                    try {
+                        Map.Entry<String, String> entry = future.join();
+                        categorizedComments.get(entry.getKey()).add(entry.getValue());
+                    } catch (CompletionException | CancellationException ex) {
+                        logger.error("Error processing comment", ex);
+                        skipped++;
                     }
-                }));
-            }
-            
-            // Collect results
-            for (Future<Map.Entry<String, String>> future : futures) {
-                try {
-                    Map.Entry<String, String> entry = future.get(5, TimeUnit.SECONDS);
-                    categorizedComments.get(entry.getKey()).add(entry.getValue());
-                } catch (Exception e) {
-                    logger.error("Error processing comment", e);
                 }
+                if (skipped > 0) {
+                    logger.warn("Skipped {} comments that failed or missed the analysis deadline", skipped);
+                }
+
+                logger.info("Sentiment analysis complete. Categorized {} comments", comments.size() - skipped);
+                return new AnalysisResult(categorizedComments, comments.size(), skipped);
+            });
+    }
+
+    /**
+     * Determines the category of a single comment.
+     *
+     * @param comment The comment to categorize
+     * @return An entry of category ("spam", "positive", "negative" or "neutral") to comment
+     */
+    private Map.Entry<String, String> categorizeComment(String comment) {
+        // Spam is checked first so the more expensive sentiment analysis only runs on non-spam comments
+        if (spamDetector.isSpam(comment)) {
+            return new AbstractMap.SimpleEntry<>("spam", comment);
+        }
+        return new AbstractMap.SimpleEntry<>(analyzeCommentSentiment(comment), comment);
+    }
+
+    /**
+     * Analyzes the sentiment of a comment with the configured engine.
+     * Falls back to the keyword approach if CoreNLP fails on the comment.
+     *
+     * @param comment The comment to analyze
+     * @return The sentiment category ("positive", "negative", or "neutral")
+     */
+    private String analyzeCommentSentiment(String comment) {
+        if (useCoreNlp) {
+            try {
+                return coreNlpAnalyzer.analyzeSentiment(comment);
+            } catch (Exception e) {
+                logger.warn("CoreNLP sentiment failed, falling back to keyword sentiment", e);
             }
-            
-            logger.info("Sentiment analysis complete. Categorized {} comments", comments.size());
-            return categorizedComments;
-            
-        } catch (InvalidUrlException e) {
-            logger.error("Invalid URL: {}", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            logger.error("Error analyzing sentiment", e);
-            throw new YouTubeApiException("Error analyzing comments: " + e.getMessage(), e);
         }
+        return analyzeSimpleSentiment(comment);
     }
 
     /**
@@ -211,6 +365,21 @@ public class SentimentService {
      * @throws InvalidUrlException if the URL is invalid
      */
     public List<String> getCommentsFromYouTube(String youtubeUrl, int commentCount) {
+        return getCommentsFromYouTube(youtubeUrl, commentCount,
+            System.nanoTime() + TimeUnit.SECONDS.toNanos(analysisTimeoutSeconds));
+    }
+
+    /**
+     * Gets comments from a YouTube video, giving up before requesting a page once the deadline has passed.
+     *
+     * @param youtubeUrl The URL of the YouTube video
+     * @param commentCount The number of comments to retrieve
+     * @param deadline The {@link System#nanoTime()} value after which no further page is requested
+     * @return A list of comments
+     * @throws YouTubeApiException if there's an error with the YouTube API or the deadline passes
+     * @throws InvalidUrlException if the URL is invalid
+     */
+    private List<String> getCommentsFromYouTube(String youtubeUrl, int commentCount, long deadline) {
         logger.info("Getting comments from YouTube for URL: {}, count: {}", youtubeUrl, commentCount);
         
         try {
@@ -233,6 +402,11 @@ public class SentimentService {
                 if (pageToken != null) {
                     request.setPageToken(pageToken);
                 }
+
+                if (System.nanoTime() - deadline > 0) {
+                    throw new YouTubeApiException("Timed out fetching comments ("
+                        + comments.size() + " retrieved before the deadline)");
+                }
                 
                 CommentThreadListResponse response = request.execute();
                 
@@ -0,0 +1,273 @@
+package com.moderator.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moderator.service.AnalysisResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalFileWorkCoordinatorTest {
+
+    @TempDir
+    Path workDir;
+
+    private LocalFileWorkCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        coordinator = newCoordinator();
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.shutdown();
+    }
+
+    @Test
+    void eachPartitionIsClaimedByExactlyOneWorkerUnderContention() throws Exception {
+        int partitions = 200;
+        int workers = 8;
+        coordinator.submitJob(urls(partitions), 10);
+
+        // Separate instances share the directory, as separate application nodes would
+        List<LocalFileWorkCoordinator> nodes = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            nodes.add(newCoordinator());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Integer>>> futures = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            LocalFileWorkCoordinator node = nodes.get(i);
+            String workerId = "worker-" + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Integer> claimed = new ArrayList<>();
+                Optional<WorkPartition> partition;
+                while ((partition = node.claimPartition(workerId)).isPresent()) {
+                    claimed.add(partition.get().partitionId());
+                }
+                return claimed;
+            }));
+        }
+        start.countDown();
+
+        List<Integer> allClaimed = new ArrayList<>();
+        for (Future<List<Integer>> future : futures) {
+            allClaimed.addAll(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        nodes.forEach(LocalFileWorkCoordinator::shutdown);
+
+        assertEquals(partitions, allClaimed.size(), "every partition claimed once");
+        assertEquals(partitions, new HashSet<>(allClaimed).size(), "no partition claimed twice");
+    }
+
+    @Test
+    void expiredLeaseIsReclaimedAndStaleWorkerCannotReport() throws Exception {
+        String jobId = coordinator.submitJob(urls(1), 10);
+        WorkPartition first = coordinator.claimPartition("worker-a").orElseThrow();
+        assertTrue(coordinator.claimPartition("worker-b").isEmpty(), "partition is leased to worker-a");
+
+        expireClaims(jobId);
+
+        WorkPartition second = coordinator.claimPartition("worker-b").orElseThrow();
+        assertEquals(first.partitionId(), second.partitionId());
+
+        assertFalse(coordinator.failPartition("worker-a", first, "too late"), "worker-a lost its lease");
+        assertTrue(coordinator.completePartition("worker-b", second, result("great video")));
+        assertFalse(coordinator.completePartition("worker-a", first, result("stale")));
+
+        JobStatus status = coordinator.getJobStatus(jobId).orElseThrow();
+        assertEquals(1, status.completedPartitions());
+        assertEquals(0, status.failedPartitions());
+        assertEquals(List.of("great video"), status.partitions().get(0).categorizedComments().get("positive"));
+        assertTrue(status.isComplete());
+    }
+
+    @Test
+    void renewedClaimIsNotReclaimedUntilRenewalsStop() throws Exception {
+        String jobId = coordinator.submitJob(urls(1), 10);
+        WorkPartition partition = coordinator.claimPartition("worker-a").orElseThrow();
+
+        expireClaims(jobId);
+        assertTrue(coordinator.renewClaim("worker-a", partition));
+        assertTrue(coordinator.claimPartition("worker-b").isEmpty(), "renewed lease is kept");
+
+        expireClaims(jobId);
+        WorkPartition takenOver = coordinator.claimPartition("worker-b").orElseThrow();
+        assertFalse(coordinator.renewClaim("worker-a", partition), "worker-a lost its lease");
+        assertTrue(coordinator.renewClaim("worker-b", takenOver));
+    }
+
+    @Test
+    void reportingMarkerOfCrashedWorkerIsReclaimed() throws Exception {
+        String jobId = coordinator.submitJob(urls(1), 10);
+        WorkPartition partition = coordinator.claimPartition("worker-a").orElseThrow();
+
+        // worker-a died after taking its claim for reporting but before writing the outcome
+        Path jobDir = workDir.resolve("jobs").resolve(jobId);
+        Path reporting = jobDir.resolve(partition.partitionId() + ".worker-a.reporting");
+        Files.move(jobDir.resolve(partition.partitionId() + ".worker-a.claimed"), reporting);
+        assertTrue(coordinator.claimPartition("worker-b").isEmpty(), "reporting partition is still held");
+        assertFalse(coordinator.completePartition("worker-a", partition, result("lost")),
+                "claim can only be taken for reporting once");
+
+        Files.setLastModifiedTime(reporting, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+        WorkPartition retried = coordinator.claimPartition("worker-b").orElseThrow();
+        assertTrue(coordinator.completePartition("worker-b", retried, result("retried")));
+        assertTrue(coordinator.getJobStatus(jobId).orElseThrow().isComplete());
+    }
+
+    @Test
+    void statusKeepsResultsPerVideoAndAggregatesCounts() {
+        String jobId = coordinator.submitJob(urls(3), 10);
+
+        Map<Integer, WorkPartition> claimed = new HashMap<>();
+        Optional<WorkPartition> partition;
+        while ((partition = coordinator.claimPartition("worker")).isPresent()) {
+            claimed.put(partition.get().partitionId(), partition.get());
+        }
+        assertEquals(3, claimed.size());
+
+        coordinator.completePartition("worker", claimed.get(0), result("nice"));
+        JobStatus inProgress = coordinator.getJobStatus(jobId).orElseThrow();
+        assertEquals(1, inProgress.completedPartitions());
+        assertFalse(inProgress.isComplete());
+
+        coordinator.completePartition("worker", claimed.get(1), result("love it"));
+        coordinator.failPartition("worker", claimed.get(2), "quota exceeded");
+
+        JobStatus finished = coordinator.getJobStatus(jobId).orElseThrow();
+        assertEquals(3, finished.totalPartitions());
+        assertEquals(2, finished.completedPartitions());
+        assertEquals(1, finished.failedPartitions());
+        assertTrue(finished.isComplete());
+        assertEquals(2, finished.categoryCounts().get("positive"));
+        assertEquals(0, finished.categoryCounts().get("spam"));
+
+        List<PartitionResult> partitions = finished.partitions();
+        assertEquals(List.of(0, 1, 2), partitions.stream().map(PartitionResult::partitionId).toList());
+        for (PartitionResult partitionResult : partitions) {
+            assertEquals(claimed.get(partitionResult.partitionId()).youtubeUrl(), partitionResult.youtubeUrl());
+        }
+        assertEquals(List.of("nice"), partitions.get(0).categorizedComments().get("positive"));
+        assertEquals(List.of("love it"), partitions.get(1).categorizedComments().get("positive"));
+        assertNull(partitions.get(2).categorizedComments());
+        assertEquals("quota exceeded", partitions.get(2).error());
+    }
+
+    @Test
+    void finishedJobsAreSkippedByPollingAndPurgedAfterRetention() {
+        String jobId = coordinator.submitJob(urls(1), 10);
+        WorkPartition partition = coordinator.claimPartition("worker").orElseThrow();
+        coordinator.completePartition("worker", partition, result("ok"));
+
+        assertFalse(Files.exists(workDir.resolve("jobs").resolve(jobId)), "finished job left the active set");
+        assertTrue(coordinator.getJobStatus(jobId).orElseThrow().isComplete());
+
+        coordinator.purgeExpiredJobs();
+        assertTrue(coordinator.getJobStatus(jobId).isPresent(), "kept within retention");
+
+        ReflectionTestUtils.setField(coordinator, "retentionHours", -1L);
+        coordinator.purgeExpiredJobs();
+        assertTrue(coordinator.getJobStatus(jobId).isEmpty(), "purged after retention");
+    }
+
+    @Test
+    void concurrentPurgesDeleteEachJobOnce() throws Exception {
+        List<String> jobIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            String jobId = coordinator.submitJob(urls(1), 10);
+            WorkPartition partition = coordinator.claimPartition("worker").orElseThrow();
+            coordinator.completePartition("worker", partition, result("ok"));
+            jobIds.add(jobId);
+        }
+
+        List<LocalFileWorkCoordinator> nodes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            LocalFileWorkCoordinator node = newCoordinator();
+            ReflectionTestUtils.setField(node, "retentionHours", -1L);
+            nodes.add(node);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(nodes.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (LocalFileWorkCoordinator node : nodes) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                node.purgeExpiredJobs();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        nodes.forEach(LocalFileWorkCoordinator::shutdown);
+
+        for (String jobId : jobIds) {
+            assertTrue(coordinator.getJobStatus(jobId).isEmpty());
+        }
+        try (Stream<Path> trash = Files.list(workDir.resolve("trash"))) {
+            assertEquals(0, trash.count(), "trash emptied");
+        }
+    }
+
+    @Test
+    void unknownOrMalformedJobIdsHaveNoStatus() {
+        assertTrue(coordinator.getJobStatus(UUID.randomUUID().toString()).isEmpty());
+        assertTrue(coordinator.getJobStatus("../jobs").isEmpty());
+    }
+
+    private LocalFileWorkCoordinator newCoordinator() {
+        LocalFileWorkCoordinator node = new LocalFileWorkCoordinator(new ObjectMapper());
+        ReflectionTestUtils.setField(node, "directory", workDir.toString());
+        ReflectionTestUtils.setField(node, "leaseSeconds", 300L);
+        ReflectionTestUtils.setField(node, "retentionHours", 24L);
+        ReflectionTestUtils.setField(node, "cleanupIntervalMinutes", 60L);
+        node.initialize();
+        return node;
+    }
+
+    private void expireClaims(String jobId) throws IOException {
+        FileTime longAgo = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1));
+        try (Stream<Path> files = Files.list(workDir.resolve("jobs").resolve(jobId))) {
+            for (Path file : files.filter(path -> path.toString().endsWith(".claimed")).toList()) {
+                Files.setLastModifiedTime(file, longAgo);
+            }
+        }
+    }
+
+    private static List<String> urls(int count) {
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            urls.add(String.format("https://www.youtube.com/watch?v=video%06d", i));
+        }
+        return urls;
+    }
+
+    private static AnalysisResult result(String positive) {
+        Map<String, List<String>> categorized = new HashMap<>();
+        categorized.put("positive", List.of(positive));
+        categorized.put("negative", List.of());
+        categorized.put("neutral", List.of());
+        categorized.put("spam", List.of());
+        return new AnalysisResult(categorized, 1, 0);
+    }
+}
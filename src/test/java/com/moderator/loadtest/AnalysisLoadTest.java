@@ -0,0 +1,251 @@
+package com.moderator.loadtest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * End-to-end throughput test of {@code /spamanalyze} against {@link FakeYouTubeServer}.
+ * Drives concurrent requests and reports latency percentiles, throughput, the number of
+ * comments actually categorized per request, GC activity and heap usage. Runs offline.
+ *
+ * <p>Skipped unless enabled, since it takes minutes:
+ * <pre>
+ * mvn test -Dtest=AnalysisLoadTest -Dloadtest=true \
+ *     -Dloadtest.concurrency=20 -Dcomment.analysis.thread-pool-size=10
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class AnalysisLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisLoadTest.class);
+
+    private static final Pattern TOTAL_COMMENTS = Pattern.compile(
+            "Total Comments</h5>\\s*<p class=\"card-text\">(\\d+)</p>");
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 10);
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 200);
+    private static final int WARMUP_REQUESTS = Integer.getInteger("loadtest.warmup-requests", 20);
+    private static final int COMMENT_COUNT = Integer.getInteger("loadtest.comment-count", 100);
+    private static final long REQUEST_TIMEOUT_SECONDS = Long.getLong("loadtest.request-timeout-seconds", 60);
+    private static final long FAKE_LATENCY_MS = Long.getLong("loadtest.fake.latency-ms", 200);
+    private static final int FAKE_PAGE_SIZE = Integer.getInteger("loadtest.fake.page-size", 20);
+    private static final int FAKE_TOTAL_COMMENTS = Integer.getInteger("loadtest.fake.total-comments", 500);
+    private static final int FAKE_COMMENT_WORDS = Integer.getInteger("loadtest.fake.comment-words", 0);
+
+    private static FakeYouTubeServer fakeYouTube;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @DynamicPropertySource
+    static void fakeYouTubeProperties(DynamicPropertyRegistry registry) {
+        try {
+            fakeYouTube = new FakeYouTubeServer(FAKE_LATENCY_MS, FAKE_PAGE_SIZE, FAKE_TOTAL_COMMENTS, FAKE_COMMENT_WORDS);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        registry.add("youtube.api.root-url", fakeYouTube::rootUrl);
+        registry.add("youtube.api.key", () -> "loadtest");
+    }
+
+    @AfterAll
+    static void stopFakeYouTube() {
+        if (fakeYouTube != null) {
+            fakeYouTube.stop();
+        }
+    }
+
+    @Test
+    void sustainsConcurrentAnalyses() throws InterruptedException {
+        String endpoint = "http://localhost:" + port + "/spamanalyze";
+        logger.info("Starting load test against {}: {} requests ({} warm-up), concurrency {}, {} comments per request",
+                endpoint, REQUESTS, WARMUP_REQUESTS, CONCURRENCY, COMMENT_COUNT);
+
+        if (WARMUP_REQUESTS > 0) {
+            runPhase(endpoint, WARMUP_REQUESTS);
+        }
+
+        resetPeakHeapUsage();
+        long gcCountBefore = totalGcCount();
+        long gcTimeBefore = totalGcTimeMs();
+        long start = System.nanoTime();
+
+        PhaseResult result = runPhase(endpoint, REQUESTS);
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        report(result, elapsedSeconds, totalGcCount() - gcCountBefore, totalGcTimeMs() - gcTimeBefore);
+
+        assertEquals(0, result.failures, "requests that did not render results");
+    }
+
+    /**
+     * Sends the given number of requests using {@code CONCURRENCY} closed-loop workers.
+     */
+    private PhaseResult runPhase(String endpoint, int total) throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        Queue<Integer> categorized = new ConcurrentLinkedQueue<>();
+
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int w = 0; w < CONCURRENCY; w++) {
+            workers.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < total) {
+                    long requestStart = System.nanoTime();
+                    int count = sendRequest(endpoint, i);
+                    if (count >= 0) {
+                        latencies.add(System.nanoTime() - requestStart);
+                        categorized.add(count);
+                    } else {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        return new PhaseResult(new ArrayList<>(latencies), new ArrayList<>(categorized), failures.get());
+    }
+
+    /**
+     * Sends a single analysis request for a synthetic video.
+     *
+     * @return The number of comments categorized, or -1 if the results page was not rendered
+     */
+    private int sendRequest(String endpoint, int index) {
+        String videoUrl = String.format("https://www.youtube.com/watch?v=loadtest%03d", index % 1000);
+        String form = "youtubeUrl=" + URLEncoder.encode(videoUrl, StandardCharsets.UTF_8)
+                + "&commentCount=" + COMMENT_COUNT;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(endpoint))
+                .timeout(Duration.ofSeconds(REQUEST_TIMEOUT_SECONDS))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            // Analysis errors re-render the index page with a 200 status
+            Matcher matcher = TOTAL_COMMENTS.matcher(response.body());
+            if (response.statusCode() != 200 || !matcher.find()) {
+                return -1;
+            }
+            return Integer.parseInt(matcher.group(1));
+        } catch (Exception e) {
+            logger.debug("Load test request {} failed", index, e);
+            return -1;
+        }
+    }
+
+    private void report(PhaseResult result, double elapsedSeconds, long gcCount, long gcTimeMs) {
+        List<Long> sorted = new ArrayList<>(result.latencies);
+        Collections.sort(sorted);
+
+        int expected = Math.min(COMMENT_COUNT, FAKE_TOTAL_COMMENTS);
+        long categorizedTotal = 0;
+        int partial = 0;
+        int minCategorized = Integer.MAX_VALUE;
+        for (int count : result.categorized) {
+            categorizedTotal += count;
+            minCategorized = Math.min(minCategorized, count);
+            if (count < expected) {
+                partial++;
+            }
+        }
+
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+        long usedHeap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+        logger.info("Load test complete: {} succeeded, {} failed in {} s",
+                sorted.size(), result.failures, String.format("%.2f", elapsedSeconds));
+        logger.info("Throughput: {} analyses/s, {} comments/s",
+                String.format("%.2f", sorted.size() / elapsedSeconds),
+                String.format("%.1f", categorizedTotal / elapsedSeconds));
+        logger.info("Comments categorized per request: mean {} of {}, min {}, {} partial (missed the deadline)",
+                result.categorized.isEmpty() ? 0 : String.format("%.1f", (double) categorizedTotal / result.categorized.size()),
+                expected, result.categorized.isEmpty() ? 0 : minCategorized, partial);
+        logger.info("Latency: p50 {} ms, p99 {} ms, max {} ms",
+                percentileMs(sorted, 50), percentileMs(sorted, 99), percentileMs(sorted, 100));
+        logger.info("GC: {} collections, {} ms total", gcCount, gcTimeMs);
+        logger.info("Heap: {} MB used, {} MB peak (sum of pool peaks)", usedHeap / (1024 * 1024), peakHeap / (1024 * 1024));
+    }
+
+    /**
+     * Returns the nearest-rank percentile of sorted latencies in milliseconds.
+     */
+    private static long percentileMs(List<Long> sorted, int percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return TimeUnit.NANOSECONDS.toMillis(sorted.get(Math.max(0, rank - 1)));
+    }
+
+    private static void resetPeakHeapUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long totalGcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long totalGcTimeMs() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+
+    /**
+     * Latencies and categorized comment counts of successful requests, and the failure count, in one phase.
+     */
+    private record PhaseResult(List<Long> latencies, List<Integer> categorized, int failures) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.moderator.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Offline stand-in for the YouTube Data API {@code commentThreads} endpoint.
+ * Serves pages of synthetic comments with configurable latency and size on its
+ * own port and threads, so it does not compete with the application under test.
+ */
+public class FakeYouTubeServer {
+
+    private static final List<String> COMMENT_TEMPLATES = Arrays.asList(
+        "Great video, really awesome explanation",
+        "This was a terrible and disappointing tutorial",
+        "Thanks for sharing this information",
+        "Buy cheap products now! Click here for amazing deals!",
+        "Check out my channel and subscribe for more content!",
+        "I learned a lot from this, excellent work",
+        "Worst editing I have seen, useless content",
+        "Visit http://example.com for free prizes",
+        "Looking forward to the next part",
+        "Not sure I agree with the second point"
+    );
+
+    private final long latencyMs;
+    private final int pageSize;
+    private final int totalComments;
+    private final int commentWords;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    /**
+     * Starts the fake endpoint on an ephemeral port.
+     *
+     * @param latencyMs Delay before each page is returned
+     * @param pageSize Maximum number of comments per page
+     * @param totalComments Number of comments available per video
+     * @param commentWords Minimum number of words per comment (0 for a single template sentence)
+     */
+    public FakeYouTubeServer(long latencyMs, int pageSize, int totalComments, int commentWords) throws IOException {
+        this.latencyMs = latencyMs;
+        this.pageSize = pageSize;
+        this.totalComments = totalComments;
+        this.commentWords = commentWords;
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/youtube/v3/commentThreads", this::handleCommentThreads);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Returns the URL to use as {@code youtube.api.root-url}.
+     *
+     * @return The root URL of the fake API
+     */
+    public String rootUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/";
+    }
+
+    /**
+     * Stops the server and its threads.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleCommentThreads(HttpExchange exchange) throws IOException {
+        Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+        String videoId = params.getOrDefault("videoId", "unknown");
+        int maxResults = Integer.parseInt(params.getOrDefault("maxResults", "20"));
+        int offset = params.containsKey("pageToken") ? Integer.parseInt(params.get("pageToken")) : 0;
+        int count = Math.max(0, Math.min(Math.min(pageSize, maxResults), totalComments - offset));
+
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        byte[] body = objectMapper.writeValueAsBytes(buildPage(videoId, offset, count));
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Builds a page of comment threads in the YouTube API JSON layout.
+     */
+    private Map<String, Object> buildPage(String videoId, int offset, int count) {
+        List<Map<String, Object>> items = new ArrayList<>(count);
+        for (int i = offset; i < offset + count; i++) {
+            Map<String, Object> commentSnippet = Map.of("textDisplay", syntheticComment(videoId, i));
+            Map<String, Object> threadSnippet = Map.of(
+                "videoId", videoId,
+                "topLevelComment", Map.of("snippet", commentSnippet));
+            items.add(Map.of("id", videoId + "-" + i, "snippet", threadSnippet));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("kind", "youtube#commentThreadListResponse");
+        response.put("items", items);
+        if (offset + count < totalComments) {
+            response.put("nextPageToken", String.valueOf(offset + count));
+        }
+        return response;
+    }
+
+    /**
+     * Generates a deterministic comment for the given video and index.
+     */
+    private String syntheticComment(String videoId, int index) {
+        Random random = new Random(31L * videoId.hashCode() + index);
+        StringBuilder comment = new StringBuilder(COMMENT_TEMPLATES.get(random.nextInt(COMMENT_TEMPLATES.size())));
+        int words = comment.toString().split("\\s+").length;
+        while (words < commentWords) {
+            String template = COMMENT_TEMPLATES.get(random.nextInt(COMMENT_TEMPLATES.size()));
+            comment.append(". ").append(template);
+            words += template.split("\\s+").length;
+        }
+        return comment.toString();
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new HashMap<>();
+        if (query == null) {
+            return params;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+}
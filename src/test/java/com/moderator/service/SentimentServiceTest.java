@@ -0,0 +1,125 @@
+package com.moderator.service;
+
+import com.moderator.exception.InvalidUrlException;
+import com.moderator.exception.YouTubeApiException;
+import com.moderator.loadtest.FakeYouTubeServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SentimentServiceTest {
+
+    private static final String VIDEO_URL = "https://www.youtube.com/watch?v=dQw4w9WgXcQ";
+
+    private final AtomicInteger spamChecks = new AtomicInteger();
+    private FakeYouTubeServer youtube;
+    private SentimentService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            ReflectionTestUtils.invokeMethod(service, "shutdown");
+        }
+        if (youtube != null) {
+            youtube.stop();
+        }
+    }
+
+    @Test
+    void slowFetchFailsWithYouTubeApiException() throws Exception {
+        // Each page takes longer than the 3 seconds left for fetching
+        service = newService(5000, 20, 0);
+
+        long start = System.nanoTime();
+        YouTubeApiException e = assertThrows(YouTubeApiException.class,
+                () -> service.analyzeSentiment(VIDEO_URL, 20));
+
+        assertTrue(e.getMessage().contains("Timed out"), e.getMessage());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 4500, "failed at the fetch deadline");
+        assertEquals(0, spamChecks.get(), "nothing was scored");
+    }
+
+    @Test
+    void slowScoringReturnsPartialResultAndCancelsQueuedComments() throws Exception {
+        // One scoring thread at 300 ms per comment cannot finish 40 comments in 5 seconds
+        service = newService(0, 40, 300);
+
+        AnalysisResult result = service.analyzeSentiment(VIDEO_URL, 40);
+        int checksAtDeadline = spamChecks.get();
+
+        assertEquals(40, result.fetchedComments());
+        assertTrue(result.isPartial());
+        assertTrue(result.analyzedComments() > 0, "comments scored before the deadline are kept");
+        int categorized = result.categorizedComments().values().stream().mapToInt(List::size).sum();
+        assertEquals(result.analyzedComments(), categorized);
+        assertEquals(40, result.analyzedComments() + result.skippedComments());
+
+        // Queued comments were cancelled rather than scored after the response
+        Thread.sleep(1000);
+        assertTrue(spamChecks.get() <= checksAtDeadline + 1, "queued comments kept running after the deadline");
+        assertTrue(spamChecks.get() < 40);
+    }
+
+    @Test
+    void fastAnalysisScoresEveryComment() throws Exception {
+        service = newService(0, 20, 0);
+
+        AnalysisResult result = service.analyzeSentiment(VIDEO_URL, 20);
+
+        assertEquals(20, result.fetchedComments());
+        assertEquals(0, result.skippedComments());
+        assertFalse(result.isPartial());
+        assertEquals(20, spamChecks.get());
+    }
+
+    @Test
+    void invalidUrlFailsWithoutFetching() throws Exception {
+        service = newService(0, 20, 0);
+
+        assertThrows(InvalidUrlException.class, () -> service.analyzeSentiment("https://example.com/video", 20));
+        assertEquals(0, spamChecks.get());
+    }
+
+    /**
+     * Creates a service with a 5 second deadline, 2 seconds of it reserved for scoring, a single
+     * scoring thread, a fake YouTube API and a spam detector that takes {@code scoringMs} per comment.
+     */
+    @SuppressWarnings("unchecked")
+    private SentimentService newService(long fetchLatencyMs, int totalComments, long scoringMs) throws IOException {
+        youtube = new FakeYouTubeServer(fetchLatencyMs, 100, totalComments, 0);
+
+        ModelBasedSpamDetector spamDetector = mock(ModelBasedSpamDetector.class);
+        when(spamDetector.isSpam(anyString())).thenAnswer(invocation -> {
+            spamChecks.incrementAndGet();
+            Thread.sleep(scoringMs);
+            return false;
+        });
+        ObjectProvider<CoreNlpSentimentAnalyzer> noCoreNlp = mock(ObjectProvider.class);
+
+        SentimentService sentimentService = new SentimentService(spamDetector, noCoreNlp);
+        ReflectionTestUtils.setField(sentimentService, "apiKey", "test-key");
+        ReflectionTestUtils.setField(sentimentService, "applicationName", "comment-moderator-test");
+        ReflectionTestUtils.setField(sentimentService, "rootUrl", youtube.rootUrl());
+        ReflectionTestUtils.setField(sentimentService, "threadPoolSize", 1);
+        ReflectionTestUtils.setField(sentimentService, "fetchPoolSize", 2);
+        ReflectionTestUtils.setField(sentimentService, "executorType", "fixed");
+        ReflectionTestUtils.setField(sentimentService, "analysisTimeoutSeconds", 5L);
+        ReflectionTestUtils.setField(sentimentService, "minScoringSeconds", 2L);
+        ReflectionTestUtils.setField(sentimentService, "defaultLanguage", "en");
+        ReflectionTestUtils.setField(sentimentService, "positiveWordsString", "great,awesome,excellent");
+        ReflectionTestUtils.setField(sentimentService, "negativeWordsString", "terrible,worst,useless");
+        ReflectionTestUtils.invokeMethod(sentimentService, "initialize");
+        return sentimentService;
+    }
+}